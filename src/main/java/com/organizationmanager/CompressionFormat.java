@@ -0,0 +1,56 @@
+package com.organizationmanager;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * On-disk encoding of an organization file. Plain XML, gzip (.gz) or zlib deflate (.zz / .deflate).
+ */
+public enum CompressionFormat {
+    NONE, GZIP, DEFLATE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public static CompressionFormat forPath(Path path) {
+        Path fileName = path.getFileName();
+        String name = fileName == null ? "" : fileName.toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".gz") || name.endsWith(".gzip"))
+            return GZIP;
+        if (name.endsWith(".zz") || name.endsWith(".deflate"))
+            return DEFLATE;
+        return NONE;
+    }
+
+    /**
+     * Wraps the stream in a decompressor chosen by its magic bytes, so the parser reads XML directly from the
+     * compressed file without an intermediate copy.
+     */
+    public static InputStream decode(InputStream in) throws IOException {
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int b0 = buffered.read();
+        int b1 = buffered.read();
+        buffered.reset();
+
+        if (b0 == 0x1f && b1 == 0x8b)
+            return new GZIPInputStream(buffered, BUFFER_SIZE);
+        // zlib header: CM = 8 (deflate) and the 16-bit header is a multiple of 31
+        if (b0 >= 0 && b1 >= 0 && (b0 & 0x0f) == 8 && ((b0 << 8) | b1) % 31 == 0)
+            return new InflaterInputStream(buffered);
+        return buffered;
+    }
+
+    public OutputStream encode(OutputStream out) throws IOException {
+        return switch (this) {
+        case NONE -> new BufferedOutputStream(out, BUFFER_SIZE);
+        case GZIP, DEFLATE -> new ParallelDeflaterOutputStream(out, this);
+        };
+    }
+}
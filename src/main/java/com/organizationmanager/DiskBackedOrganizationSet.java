@@ -0,0 +1,379 @@
+package com.organizationmanager;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+
+/**
+ * Organization set for bounded-memory mode.
+ * <p>
+ * Only an id → record slot index and an LRU cache of hot records stay on heap; every record is appended to a record
+ * file on disk. Iteration follows id order, like the {@link java.util.TreeSet} used in normal mode, and reads the
+ * file through a buffered window, so records written in id order are streamed sequentially. Scans only peek at the
+ * cache: they neither admit records nor affect the eviction order or hit ratio.
+ * <p>
+ * Removed and replaced records leave dead space behind. Once it exceeds 1 MiB and half of the file, the the next write rewrites the live records into a fresh file.
+ */
+public class DiskBackedOrganizationSet extends AbstractSet<Organization> implements Closeable {
+    private static final OrganizationType[] TYPES = OrganizationType.values();
+    private static final int LOOKUP_WINDOW_SIZE = 4 * 1024;
+    private static final int SCAN_WINDOW_SIZE = 64 * 1024;
+    private static final long COMPACTION_MIN_DEAD_BYTES = 1024 * 1024;
+
+    private final Path path;
+    private final TreeMap<Long, Slot> index = new TreeMap<>();
+    private final LruCache<Long, Organization> cache;
+    private final ReadWindow lookupWindow = new ReadWindow(LOOKUP_WINDOW_SIZE);
+    private FileChannel channel;
+    private long end;
+    private long deadBytes;
+
+    /** Position of a record in the file; {@code length} excludes the 4-byte length prefix. */
+    private record Slot(long offset, int length) {
+        long size() {
+            return Integer.BYTES + (long) length;
+        }
+    }
+
+    public DiskBackedOrganizationSet(Path path, int cacheSize) throws IOException {
+        this.path = path;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.cache = new LruCache<>(cacheSize);
+    }
+
+    @Override
+    public Iterator<Organization> iterator() {
+        return new RecordIterator();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Organization org && index.containsKey(org.getId());
+    }
+
+    @Override
+    public boolean add(Organization org) {
+        if (index.containsKey(org.getId()))
+            return false;
+        index.put(org.getId(), write(org));
+        cache.put(org.getId(), org);
+        return true;
+    }
+
+    /**
+     * Replaces the organization with the same id. The new record is written before the index is switched over, so a
+     * failed write leaves the old record in place.
+     */
+    public boolean replace(Organization org) {
+        if (!index.containsKey(org.getId()))
+            return false;
+        Slot slot = write(org);
+        discard(index.put(org.getId(), slot));
+        cache.put(org.getId(), org);
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Organization org && removeById(org.getId());
+    }
+
+    /** Removes by id using only the index; the record is neither read nor admitted into the cache. */
+    public boolean removeById(long id) {
+        Slot slot = index.remove(id);
+        if (slot == null)
+            return false;
+        discard(slot);
+        cache.remove(id);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        index.clear();
+        cache.clear();
+        lookupWindow.invalidate();
+        try {
+            channel.truncate(0);
+            end = 0;
+            deadBytes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to truncate record file", e);
+        }
+    }
+
+    /** Point lookup by id; the record is admitted into the cache. */
+    public Organization get(long id) {
+        Organization cached = cache.get(id);
+        if (cached != null)
+            return cached;
+        Slot slot = index.get(id);
+        if (slot == null)
+            return null;
+        Organization org = lookupWindow.read(slot);
+        cache.put(id, org);
+        return org;
+    }
+
+    /** Largest id in the store, or 0 when empty; answered from the index without reading records. */
+    public long maxId() {
+        return index.isEmpty() ? 0 : index.lastKey();
+    }
+
+    /** Removes every organization with an id greater than the given one, using only the index. */
+    public int removeIdsGreaterThan(long id) {
+        NavigableMap<Long, Slot> tail = index.tailMap(id, false);
+        int count = tail.size();
+        tail.forEach((key, slot) -> {
+            discard(slot);
+            cache.remove(key);
+        });
+        tail.clear();
+        return count;
+    }
+
+    public int cachedCount() {
+        return cache.size();
+    }
+
+    public double cacheHitRatio() {
+        return cache.hitRatio();
+    }
+
+    public long fileSize() {
+        return end;
+    }
+
+    public long deadBytes() {
+        return deadBytes;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void discard(Slot slot) {
+        deadBytes += slot.size();
+    }
+
+    private Slot write(Organization org) {
+        try {
+            if (deadBytes > COMPACTION_MIN_DEAD_BYTES && deadBytes > end / 2)
+                compact();
+            return append(org);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write organization " + org.getId(), e);
+        }
+    }
+
+    private Slot append(Organization org) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(buffer);
+        out.writeInt(0); // length, patched below
+        out.writeLong(org.getId());
+        writeString(out, org.getName());
+        Float x = org.getCoordinates().x();
+        out.writeBoolean(x != null);
+        out.writeFloat(x != null ? x : 0f);
+        out.writeInt(org.getCoordinates().y());
+        writeString(out, org.getCreationDate().format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+        out.writeInt(org.getAnnualTurnover());
+        out.writeByte(org.getType() != null ? org.getType().ordinal() : -1);
+        String zipCode = org.getPostalAddress().zipCode();
+        out.writeBoolean(zipCode != null);
+        writeString(out, zipCode != null ? zipCode : "");
+
+        ByteBuffer record = ByteBuffer.wrap(buffer.toByteArray());
+        int length = record.remaining() - Integer.BYTES;
+        record.putInt(0, length);
+
+        long offset = end;
+        long position = offset;
+        while (record.hasRemaining())
+            position += channel.write(record, position);
+        end = position;
+        return new Slot(offset, length);
+    }
+
+    /**
+     * Rewrites the live records, in id order, into a fresh file that then replaces the current one. The index is
+     * only updated once the new file is in place, so a failure leaves the store unchanged.
+     */
+    private void compact() throws IOException {
+        Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+        ReadWindow window = new ReadWindow(SCAN_WINDOW_SIZE);
+        long[] offsets = new long[index.size()];
+        long position = 0;
+        int i = 0;
+
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(compacted), SCAN_WINDOW_SIZE)) {
+            for (Slot slot : index.values()) {
+                int start = window.load(slot);
+                out.write(window.buffer.array(), start, (int) slot.size());
+                offsets[i++] = position;
+                position += slot.size();
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(compacted);
+            throw e;
+        }
+
+        channel.close();
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        i = 0;
+        for (Map.Entry<Long, Slot> entry : index.entrySet()) {
+            entry.setValue(new Slot(offsets[i++], entry.getValue().length()));
+        }
+        end = position;
+        deadBytes = 0;
+        lookupWindow.invalidate();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Organization decode(byte[] data, int offset, int length) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+
+        long id = in.readLong();
+        String name = readString(in);
+        boolean hasX = in.readBoolean();
+        float x = in.readFloat();
+        int y = in.readInt();
+        ZonedDateTime creationDate = ZonedDateTime.parse(readString(in), DateTimeFormatter.ISO_ZONED_DATE_TIME);
+        int turnover = in.readInt();
+        byte type = in.readByte();
+        boolean hasZipCode = in.readBoolean();
+        String zipCode = readString(in);
+
+        return new Organization(id, name, new Coordinates(hasX ? x : null, y), turnover,
+                type >= 0 ? TYPES[type] : null, new Address(hasZipCode ? zipCode : null), creationDate);
+    }
+
+    /**
+     * A buffered region of the record file. A record that lies inside the region is decoded without I/O, otherwise
+     * the region is refilled starting at that record with a single positional read.
+     */
+    private class ReadWindow {
+        private ByteBuffer buffer;
+        private long start = -1;
+
+        ReadWindow(int size) {
+            this.buffer = ByteBuffer.allocate(size);
+        }
+
+        Organization read(Slot slot) {
+            try {
+                int position = load(slot); // may replace the buffer, so read it afterwards
+                return decode(buffer.array(), position + Integer.BYTES, slot.length());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read record at offset " + slot.offset(), e);
+            }
+        }
+
+        /** Makes the whole record available in the buffer and returns the position of its length prefix. */
+        int load(Slot slot) throws IOException {
+            if (!covers(slot)) {
+                if (slot.size() > buffer.capacity())
+                    buffer = ByteBuffer.allocate((int) slot.size());
+                fill(slot.offset());
+                if (!covers(slot))
+                    throw new IOException("Truncated record file");
+            }
+            return (int) (slot.offset() - start);
+        }
+
+        void invalidate() {
+            start = -1;
+        }
+
+        private boolean covers(Slot slot) {
+            return start >= 0 && slot.offset() >= start && slot.offset() + slot.size() <= start + buffer.limit();
+        }
+
+        private void fill(long offset) throws IOException {
+            buffer.clear();
+            long position = offset;
+            while (buffer.hasRemaining()) {
+                int n = channel.read(buffer, position);
+                if (n < 0)
+                    break;
+                position += n;
+            }
+            buffer.flip();
+            start = offset;
+        }
+    }
+
+    private class RecordIterator implements Iterator<Organization> {
+        private final Iterator<Map.Entry<Long, Slot>> entries = index.entrySet().iterator();
+        private final ReadWindow window = new ReadWindow(SCAN_WINDOW_SIZE);
+        private Map.Entry<Long, Slot> current;
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public Organization next() {
+            if (!entries.hasNext())
+                throw new NoSuchElementException();
+            current = entries.next();
+            Organization cached = cache.peek(current.getKey());
+            return cached != null ? cached : window.read(current.getValue());
+        }
+
+        @Override
+        public void remove() {
+            if (current == null)
+                throw new IllegalStateException();
+            // Read the entry first: TreeMap may reuse the removed node for its successor
+            Long id = current.getKey();
+            Slot slot = current.getValue();
+            entries.remove();
+            discard(slot);
+            cache.remove(id);
+            current = null;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.organizationmanager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Fixed-capacity least-recently-used cache that counts hits and misses.
+ * <p>
+ * The map is kept in insertion order and {@link #get} re-inserts a hit to mark it as most recently used, so
+ * {@link #peek} can read without touching either the order or the statistics.
+ */
+public class LruCache<K, V> {
+    private final Map<K, V> entries;
+    private long hits;
+    private long misses;
+
+    public LruCache(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        this.entries = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /** Returns the cached value or {@code null}, counting the lookup as a hit or a miss. */
+    public V get(K key) {
+        V value = entries.remove(key);
+        if (value != null) {
+            entries.put(key, value);
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+
+    /** Returns the cached value or {@code null} without counting the lookup or changing the eviction order. */
+    public V peek(K key) {
+        return entries.get(key);
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, value);
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+}
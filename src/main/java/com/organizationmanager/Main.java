@@ -1,26 +1,49 @@
 package com.organizationmanager;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Set;
 
 public class Main {
+    // Bounded-memory mode is enabled with -Dorganizations.cacheSize=N (number of records kept on heap)
+    private static final String CACHE_SIZE_PROPERTY = "organizations.cacheSize";
+    // Non-interactive pipe mode (no prompts, buffered output) is enabled with -Dorganizations.pipe=true
+    private static final String PIPE_MODE_PROPERTY = "organizations.pipe";
+
     public static void main(String[] args) {
         String resourcePath = "/organizations.xml";
         String saveFile = "output.xml";
-
-        Set<Organization> organizations;
+        String source = resourcePath;
 
         if (args.length > 0) {
             // External file provided
-            OrganizationXMLParser parser = new OrganizationXMLParser(args[0]);
-            organizations = parser.loadOrganizations();
+            source = args[0];
             saveFile = args.length > 1 ? args[1] : args[0];
+        }
+        // Otherwise fall back to internal resource
+
+        OrganizationXMLParser parser = new OrganizationXMLParser(source);
+        int cacheSize = Integer.getInteger(CACHE_SIZE_PROPERTY, 0);
+        boolean pipeMode = Boolean.getBoolean(PIPE_MODE_PROPERTY);
+
+        if (cacheSize > 0) {
+            DiskBackedOrganizationSet store = openStore(cacheSize);
+            parser.loadOrganizations(store);
+            new OrganizationManager(store, saveFile).startInteractiveMode(pipeMode);
         } else {
-            // Fallback to internal resource
-            OrganizationXMLParser parser = new OrganizationXMLParser(resourcePath);
-            organizations = parser.loadOrganizations();
+            Set<Organization> organizations = parser.loadOrganizations();
+            new OrganizationManager(organizations, saveFile).startInteractiveMode(pipeMode);
         }
+    }
 
-        OrganizationManager manager = new OrganizationManager(organizations, saveFile);
-        manager.startInteractiveMode();
+    private static DiskBackedOrganizationSet openStore(int cacheSize) {
+        try {
+            Path recordFile = Files.createTempFile("organizations", ".dat");
+            recordFile.toFile().deleteOnExit();
+            return new DiskBackedOrganizationSet(recordFile, cacheSize);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot create record file: " + e.getMessage(), e);
+        }
     }
 }
@@ -14,6 +14,11 @@ public class Organization implements Comparable<Organization> {
 
     public Organization(Long id, String name, Coordinates coordinates, Integer annualTurnover, OrganizationType type,
             Address postalAddress) {
+        this(id, name, coordinates, annualTurnover, type, postalAddress, ZonedDateTime.now());
+    }
+
+    public Organization(Long id, String name, Coordinates coordinates, Integer annualTurnover, OrganizationType type,
+            Address postalAddress, ZonedDateTime creationDate) {
         this.id = Objects.requireNonNull(id, "ID cannot be null");
         if (id <= 0)
             throw new IllegalArgumentException("ID must be positive");
@@ -29,7 +34,7 @@ public class Organization implements Comparable<Organization> {
 
         this.type = type; // Can be null
         this.postalAddress = Objects.requireNonNull(postalAddress, "Postal address cannot be null");
-        this.creationDate = ZonedDateTime.now();
+        this.creationDate = Objects.requireNonNull(creationDate, "Creation date cannot be null");
     }
 
     // Getters
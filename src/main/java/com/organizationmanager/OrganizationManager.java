@@ -1,15 +1,18 @@
 package com.organizationmanager;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.transform.OutputKeys;
-import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.dom.DOMSource;
-import javax.xml.transform.stream.StreamResult;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -22,63 +25,116 @@ public class OrganizationManager {
     private final Queue<String> commandHistory;
     private final Set<Path> activeScripts;
     private final Path defaultSavePath;
+    private final Map<String, Command> commands;
+    private PrintStream output = System.out;
+    private boolean interactive = true;
     private long nextId;
 
+    /**
+     * A {@link DiskBackedOrganizationSet} (bounded-memory mode) is used directly; any other set is copied to heap.
+     */
     public OrganizationManager(Set<Organization> organizations, String saveFileName) {
-        this.organizations = new TreeSet<>(organizations);
+        this.organizations = organizations instanceof DiskBackedOrganizationSet ? organizations
+                : new TreeSet<>(organizations);
         this.commandHistory = new ArrayDeque<>(8);
         this.activeScripts = new HashSet<>();
         this.defaultSavePath = Paths.get(saveFileName).toAbsolutePath();
-        this.nextId = organizations.stream().mapToLong(Organization::getId).max().orElse(0) + 1;
+        this.nextId = (organizations instanceof DiskBackedOrganizationSet store ? store.maxId()
+                : organizations.stream().mapToLong(Organization::getId).max().orElse(0)) + 1;
+        this.commands = createCommands();
     }
 
     public void startInteractiveMode() {
-        try (Scanner scanner = new Scanner(System.in)) {
-            System.out.println("Organization Manager started. Type 'help' for commands.");
+        startInteractiveMode(false);
+    }
+
+    /**
+     * Reads commands from stdin. In pipe mode prompts are suppressed and responses are buffered instead of being
+     * flushed line by line. Output is still flushed whenever the next read would block, so a human at the other end
+     * is never left waiting.
+     */
+    public void startInteractiveMode(boolean pipeMode) {
+        interactive = !pipeMode;
+        if (pipeMode) {
+            // Buffered, non-autoflushing view of stdout owned by this manager; System.out itself is left untouched
+            output = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 64 * 1024),
+                    false, stdoutCharset());
+        }
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(System.in), 64 * 1024)) {
+            prompt("Organization Manager started. Type 'help' for commands.\n");
             while (true) {
                 try {
-                    System.out.print("> ");
-                    String input = scanner.nextLine().trim();
+                    prompt("> ");
+                    String input = readLine(reader).trim();
                     if (input.isEmpty())
                         continue;
 
-                    processCommand(input, scanner);
+                    processCommand(input, reader);
                 } catch (NoSuchElementException e) {
-                    System.out.println("\nExiting...");
+                    output.println("\nExiting...");
                     return;
                 } catch (Exception e) {
-                    System.out.println("Error: " + e.getMessage());
+                    output.println("Error: " + e.getMessage());
                 }
             }
+        } catch (IOException e) {
+            output.println("Input error: " + e.getMessage());
+        } finally {
+            output.flush();
+            output = System.out;
         }
     }
 
-    private void processCommand(String input, Scanner scanner) {
-        String[] parts = input.split("\\s+", 2);
-        String command = parts[0].toLowerCase();
-        String argument = parts.length > 1 ? parts[1].trim() : null;
-
-        addToHistory(command);
-
-        switch (command) {
-        case "help" -> displayHelp();
-        case "info" -> displayInfo();
-        case "show" -> showOrganizations();
-        case "add" -> addOrganization(scanner);
-        case "update" -> updateOrganization(scanner, parseId(argument));
-        case "remove_by_id" -> removeById(parseId(argument));
-        case "clear" -> clearCollection();
-        case "save" -> saveToFile(argument != null ? Paths.get(argument) : defaultSavePath);
-        case "execute_script" -> executeScript(requireArgument(argument, "script filename"));
-        case "exit" -> System.exit(0);
-        case "add_if_min" -> addIfMin(scanner);
-        case "remove_greater" -> removeGreater(scanner);
-        case "history" -> displayHistory();
-        case "min_by_annual_turnover" -> minByAnnualTurnover();
-        case "count_by_type" -> countByType(requireArgument(argument, "organization type"));
-        case "filter_starts_with_name" -> filterStartsWithName(requireArgument(argument, "name prefix"));
-        default -> System.out.println("Unknown command. Type 'help' for list.");
+    private void processCommand(String input, BufferedReader reader) {
+        int end = 0;
+        while (end < input.length() && !Character.isWhitespace(input.charAt(end)))
+            end++;
+        String name = input.substring(0, end);
+        String argument = end < input.length() ? input.substring(end).trim() : null;
+
+        Command command = commands.get(name);
+        if (command == null) {
+            name = name.toLowerCase();
+            command = commands.get(name);
         }
+
+        addToHistory(name);
+
+        if (command == null) {
+            output.println("Unknown command. Type 'help' for list.");
+            return;
+        }
+        command.execute(argument, reader);
+    }
+
+    private Map<String, Command> createCommands() {
+        Map<String, Command> table = new HashMap<>();
+        table.put("help", (argument, reader) -> displayHelp());
+        table.put("info", (argument, reader) -> displayInfo());
+        table.put("show", (argument, reader) -> showOrganizations());
+        table.put("add", (argument, reader) -> addOrganization(reader));
+        table.put("update", (argument, reader) -> updateOrganization(reader, parseId(argument)));
+        table.put("remove_by_id", (argument, reader) -> removeById(parseId(argument)));
+        table.put("clear", (argument, reader) -> clearCollection());
+        table.put("save", (argument, reader) -> saveToFile(argument != null ? Paths.get(argument) : defaultSavePath));
+        table.put("execute_script",
+                (argument, reader) -> executeScript(requireArgument(argument, "script filename")));
+        table.put("exit", (argument, reader) -> exit());
+        table.put("add_if_min", (argument, reader) -> addIfMin(reader));
+        table.put("remove_greater", (argument, reader) -> removeGreater(reader));
+        table.put("history", (argument, reader) -> displayHistory());
+        table.put("min_by_annual_turnover", (argument, reader) -> minByAnnualTurnover());
+        table.put("count_by_type",
+                (argument, reader) -> countByType(requireArgument(argument, "organization type")));
+        table.put("filter_starts_with_name",
+                (argument, reader) -> filterStartsWithName(requireArgument(argument, "name prefix")));
+        return table;
+    }
+
+    @FunctionalInterface
+    private interface Command {
+        void execute(String argument, BufferedReader reader);
     }
 
     // Command implementations...
@@ -89,28 +145,28 @@ public class OrganizationManager {
     }
 
     private void displayHelp() {
-        System.out.println("Available commands:");
-        System.out.println("  help - Show this help");
-        System.out.println("  info - Collection information");
-        System.out.println("  show - List all organizations");
-        System.out.println("  add - Add new organization");
-        System.out.println("  update id - Update organization");
-        System.out.println("  remove_by_id id - Remove organization");
-        System.out.println("  clear - Clear collection");
-        System.out.println("  save [file] - Save to file (default: " + defaultSavePath + ")");
-        System.out.println("  execute_script file - Execute script");
-        System.out.println("  exit - Exit program");
-        System.out.println("  add_if_min - Add if smallest");
-        System.out.println("  remove_greater - Remove larger organizations");
-        System.out.println("  history - Command history");
-        System.out.println("  min_by_annual_turnover - Find minimum turnover");
-        System.out.println("  count_by_type type - Count by type");
-        System.out.println("  filter_starts_with_name prefix - Filter by name");
-        System.out.println("\nOrganization types: " + Arrays.toString(OrganizationType.values()));
+        output.println("Available commands:");
+        output.println("  help - Show this help");
+        output.println("  info - Collection information");
+        output.println("  show - List all organizations");
+        output.println("  add - Add new organization");
+        output.println("  update id - Update organization");
+        output.println("  remove_by_id id - Remove organization");
+        output.println("  clear - Clear collection");
+        output.println("  save [file] - Save to file, .gz/.zz are compressed (default: " + defaultSavePath + ")");
+        output.println("  execute_script file - Execute script");
+        output.println("  exit - Exit program");
+        output.println("  add_if_min - Add if smallest");
+        output.println("  remove_greater - Remove larger organizations");
+        output.println("  history - Command history");
+        output.println("  min_by_annual_turnover - Find minimum turnover");
+        output.println("  count_by_type type - Count by type");
+        output.println("  filter_starts_with_name prefix - Filter by name");
+        output.println("\nOrganization types: " + Arrays.toString(OrganizationType.values()));
     }
 
     private void displayInfo() {
-        System.out.printf("""
+        output.printf("""
                 Collection Info:
                   Type: %s
                   Size: %d
@@ -119,165 +175,206 @@ public class OrganizationManager {
                   Last init: %s
                 """, organizations.getClass().getSimpleName(), organizations.size(), nextId, defaultSavePath,
                 LocalDateTime.now());
+        if (organizations instanceof DiskBackedOrganizationSet store) {
+            output.printf("""
+                      Cached: %d
+                      Cache hit ratio: %.2f%%
+                      Record file: %d bytes, %d dead (compacted once dead space exceeds 1 MiB and half the file)
+                    """, store.cachedCount(), store.cacheHitRatio() * 100, store.fileSize(), store.deadBytes());
+        }
     }
 
     private void showOrganizations() {
         if (organizations.isEmpty()) {
-            System.out.println("Collection is empty.");
+            output.println("Collection is empty.");
             return;
         }
-        organizations.forEach(System.out::println);
+        organizations.forEach(output::println);
     }
 
-    private void addOrganization(Scanner scanner) {
+    private void addOrganization(BufferedReader reader) {
         try {
-            Organization org = readOrganization(scanner, generateId());
+            Organization org = readOrganization(reader, generateId());
             organizations.add(org);
-            System.out.println("Added organization: " + org.getId());
+            output.println("Added organization: " + org.getId());
         } catch (Exception e) {
-            System.out.println("Failed to add organization: " + e.getMessage());
+            output.println("Failed to add organization: " + e.getMessage());
         }
     }
 
-    private void updateOrganization(Scanner scanner, long id) {
+    private void updateOrganization(BufferedReader reader, long id) {
         Organization existing = findById(id);
         if (existing == null) {
-            System.out.println("Organization not found: " + id);
+            output.println("Organization not found: " + id);
             return;
         }
 
         try {
-            System.out.println("Editing organization " + id);
-            Organization updated = readOrganization(scanner, id);
-            organizations.remove(existing);
-            organizations.add(updated);
-            System.out.println("Updated organization: " + id);
+            prompt("Editing organization " + id + "\n");
+            Organization updated = readOrganization(reader, id);
+            // The store writes the new record before dropping the old one, so a failed write loses nothing
+            if (organizations instanceof DiskBackedOrganizationSet store) {
+                store.replace(updated);
+            } else {
+                organizations.remove(existing);
+                organizations.add(updated);
+            }
+            output.println("Updated organization: " + id);
         } catch (Exception e) {
-            System.out.println("Failed to update: " + e.getMessage());
+            output.println("Failed to update: " + e.getMessage());
         }
     }
 
     private void removeById(long id) {
-        if (organizations.removeIf(o -> o.getId() == id)) {
-            System.out.println("Removed organization: " + id);
+        boolean removed;
+        if (organizations instanceof DiskBackedOrganizationSet store) {
+            removed = store.removeById(id);
         } else {
-            System.out.println("Organization not found: " + id);
+            Organization existing = findById(id);
+            removed = existing != null && organizations.remove(existing);
+        }
+        if (removed) {
+            output.println("Removed organization: " + id);
+        } else {
+            output.println("Organization not found: " + id);
         }
     }
 
     private void clearCollection() {
         organizations.clear();
-        System.out.println("Collection cleared.");
+        output.println("Collection cleared.");
     }
 
     private void saveToFile(Path path) {
         try {
             Files.createDirectories(path.getParent());
 
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
-
-            Element root = document.createElement("organizations");
-            document.appendChild(root);
-
-            for (Organization org : organizations) {
-                Element orgElement = document.createElement("organization");
-
-                addTextElement(document, orgElement, "id", org.getId().toString());
-                addTextElement(document, orgElement, "name", org.getName());
-
-                Element coords = document.createElement("coordinates");
-                addTextElement(document, coords, "x",
-                        org.getCoordinates().x() != null ? org.getCoordinates().x().toString() : "");
-                addTextElement(document, coords, "y", String.valueOf(org.getCoordinates().y()));
-                orgElement.appendChild(coords);
-
-                addTextElement(document, orgElement, "creationDate",
-                        org.getCreationDate().format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
-                addTextElement(document, orgElement, "annualTurnover", org.getAnnualTurnover().toString());
-
-                if (org.getType() != null) {
-                    addTextElement(document, orgElement, "type", org.getType().name());
+            // Records are written straight from the collection's iterator, so bounded-memory mode streams from disk
+            try (OutputStream out = CompressionFormat.forPath(path).encode(Files.newOutputStream(path))) {
+                XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(out, "UTF-8");
+                writer.writeStartDocument("UTF-8", "1.0");
+                writer.writeCharacters("\n");
+                writer.writeStartElement("organizations");
+
+                for (Organization org : organizations) {
+                    writer.writeCharacters("\n  ");
+                    writer.writeStartElement("organization");
+
+                    addTextElement(writer, 2, "id", org.getId().toString());
+                    addTextElement(writer, 2, "name", org.getName());
+
+                    writer.writeCharacters("\n    ");
+                    writer.writeStartElement("coordinates");
+                    addTextElement(writer, 3, "x",
+                            org.getCoordinates().x() != null ? org.getCoordinates().x().toString() : "");
+                    addTextElement(writer, 3, "y", String.valueOf(org.getCoordinates().y()));
+                    writer.writeCharacters("\n    ");
+                    writer.writeEndElement();
+
+                    addTextElement(writer, 2, "creationDate",
+                            org.getCreationDate().format(DateTimeFormatter.ISO_ZONED_DATE_TIME));
+                    addTextElement(writer, 2, "annualTurnover", org.getAnnualTurnover().toString());
+
+                    if (org.getType() != null) {
+                        addTextElement(writer, 2, "type", org.getType().name());
+                    }
+
+                    if (org.getPostalAddress().zipCode() != null) {
+                        writer.writeCharacters("\n    ");
+                        writer.writeStartElement("postalAddress");
+                        addTextElement(writer, 3, "zipCode", org.getPostalAddress().zipCode());
+                        writer.writeCharacters("\n    ");
+                        writer.writeEndElement();
+                    } else {
+                        addTextElement(writer, 2, "postalAddress", "");
+                    }
+
+                    writer.writeCharacters("\n  ");
+                    writer.writeEndElement();
                 }
 
-                Element address = document.createElement("postalAddress");
-                if (org.getPostalAddress().zipCode() != null) {
-                    addTextElement(document, address, "zipCode", org.getPostalAddress().zipCode());
-                }
-                orgElement.appendChild(address);
-
-                root.appendChild(orgElement);
+                writer.writeCharacters("\n");
+                writer.writeEndElement();
+                writer.writeEndDocument();
+                writer.close();
             }
 
-            Transformer transformer = TransformerFactory.newInstance().newTransformer();
-            transformer.setOutputProperty(OutputKeys.INDENT, "yes");
-            transformer.setOutputProperty("{http://xml.apache.org/xslt}indent-amount", "2");
-            transformer.transform(new DOMSource(document), new StreamResult(path.toFile()));
-
-            System.out.println("Saved to: " + path);
+            output.println("Saved to: " + path);
         } catch (Exception e) {
-            System.out.println("Failed to save: " + e.getMessage());
+            output.println("Failed to save: " + e.getMessage());
         }
     }
 
     private void executeScript(String filename) {
         Path path = Paths.get(filename).toAbsolutePath();
         if (activeScripts.contains(path)) {
-            System.out.println("Error: Recursive script execution detected");
+            output.println("Error: Recursive script execution detected");
             return;
         }
 
-        try (Scanner fileScanner = new Scanner(path)) {
+        try (BufferedReader fileReader = Files.newBufferedReader(path)) {
             activeScripts.add(path);
-            System.out.println("Executing script: " + path);
+            output.println("Executing script: " + path);
 
-            while (fileScanner.hasNextLine()) {
-                String line = fileScanner.nextLine().trim();
+            String line;
+            while ((line = fileReader.readLine()) != null) {
+                line = line.trim();
                 if (line.isEmpty() || line.startsWith("//"))
                     continue;
 
-                System.out.println("> " + line);
-                processCommand(line, fileScanner);
+                output.println("> " + line);
+                processCommand(line, fileReader);
             }
         } catch (IOException e) {
-            System.out.println("Script error: " + e.getMessage());
+            output.println("Script error: " + e.getMessage());
         } finally {
             activeScripts.remove(path);
         }
     }
 
-    private void addIfMin(Scanner scanner) {
+    private void addIfMin(BufferedReader reader) {
         try {
-            Organization candidate = readOrganization(scanner, generateId());
+            Organization candidate = readOrganization(reader, generateId());
             if (organizations.isEmpty() || candidate.compareTo(organizations.iterator().next()) < 0) {
                 organizations.add(candidate);
-                System.out.println("Added organization: " + candidate.getId());
+                output.println("Added organization: " + candidate.getId());
             } else {
-                System.out.println("Organization not added - not the smallest");
+                output.println("Organization not added - not the smallest");
             }
         } catch (Exception e) {
-            System.out.println("Failed to add: " + e.getMessage());
+            output.println("Failed to add: " + e.getMessage());
         }
     }
 
-    private void removeGreater(Scanner scanner) {
+    private void removeGreater(BufferedReader reader) {
         try {
-            Organization reference = readOrganization(scanner, generateId());
+            Organization reference = readOrganization(reader, generateId());
             int count = organizations.size();
-            organizations.removeIf(o -> o.compareTo(reference) > 0);
-            System.out.println("Removed " + (count - organizations.size()) + " organizations");
+            // Organizations are ordered by id, so the disk store can drop the tail of its index without reading it
+            if (organizations instanceof DiskBackedOrganizationSet store) {
+                store.removeIdsGreaterThan(reference.getId());
+            } else {
+                organizations.removeIf(o -> o.compareTo(reference) > 0);
+            }
+            output.println("Removed " + (count - organizations.size()) + " organizations");
         } catch (Exception e) {
-            System.out.println("Failed to remove: " + e.getMessage());
+            output.println("Failed to remove: " + e.getMessage());
         }
     }
 
+    private void exit() {
+        output.flush();
+        System.exit(0);
+    }
+
     private void displayHistory() {
-        System.out.println("Command history:");
-        commandHistory.forEach(cmd -> System.out.println("  " + cmd));
+        output.println("Command history:");
+        commandHistory.forEach(cmd -> output.println("  " + cmd));
     }
 
     private void minByAnnualTurnover() {
         organizations.stream().min(Comparator.comparing(Organization::getAnnualTurnover)).ifPresentOrElse(
-                org -> System.out.println("Minimum turnover: " + org), () -> System.out.println("Collection is empty"));
+                org -> output.println("Minimum turnover: " + org), () -> output.println("Collection is empty"));
     }
 
     private void countByType(String typeStr) {
@@ -285,15 +382,15 @@ public class OrganizationManager {
             OrganizationType type = OrganizationType.fromString(typeStr);
             long count = organizations.stream()
                     .filter(o -> type == null ? o.getType() == null : type.equals(o.getType())).count();
-            System.out.println("Count of " + type + ": " + count);
+            output.println("Count of " + type + ": " + count);
         } catch (IllegalArgumentException e) {
-            System.out.println("Error: " + e.getMessage());
+            output.println("Error: " + e.getMessage());
         }
     }
 
     private void filterStartsWithName(String prefix) {
-        System.out.println("Organizations starting with '" + prefix + "':");
-        organizations.stream().filter(o -> o.getName().startsWith(prefix)).forEach(System.out::println);
+        output.println("Organizations starting with '" + prefix + "':");
+        organizations.stream().filter(o -> o.getName().startsWith(prefix)).forEach(output::println);
     }
 
     // Helper methods...
@@ -301,40 +398,66 @@ public class OrganizationManager {
         return nextId++;
     }
 
-    private Organization readOrganization(Scanner scanner, long id) {
-        System.out.println("Creating organization " + id);
+    private Organization readOrganization(BufferedReader reader, long id) {
+        prompt("Creating organization " + id + "\n");
 
-        String name = readInput(scanner, "Name", false);
+        String name = readInput(reader, "Name", false);
 
-        System.out.println("Coordinates:");
-        Float x = parseFloat(readInput(scanner, "x (≤84)", true));
-        int y = parseInt(readInput(scanner, "y (≤239)", false));
+        prompt("Coordinates:\n");
+        Float x = parseFloat(readInput(reader, "x (≤84)", true));
+        int y = parseInt(readInput(reader, "y (≤239)", false));
 
-        int turnover = parseInt(readInput(scanner, "Annual Turnover (>0)", false));
+        int turnover = parseInt(readInput(reader, "Annual Turnover (>0)", false));
         if (turnover <= 0)
             throw new IllegalArgumentException("Turnover must be positive");
 
         OrganizationType type = null;
-        String typeInput = readInput(scanner, "Type (" + Arrays.toString(OrganizationType.values()) + ")", true);
+        String typeInput = readInput(reader, "Type (" + Arrays.toString(OrganizationType.values()) + ")", true);
         if (!typeInput.isEmpty()) {
             type = OrganizationType.fromString(typeInput);
         }
 
-        String zipCode = readInput(scanner, "Zip Code", true);
+        String zipCode = readInput(reader, "Zip Code", true);
 
         return new Organization(id, name, new Coordinates(x, y), turnover, type,
                 new Address(zipCode.isEmpty() ? null : zipCode));
     }
 
-    private String readInput(Scanner scanner, String prompt, boolean optional) {
-        System.out.print(prompt + (optional ? " (optional): " : ": "));
-        String input = scanner.nextLine().trim();
+    private String readInput(BufferedReader reader, String prompt, boolean optional) {
+        prompt(prompt + (optional ? " (optional): " : ": "));
+        String input = readLine(reader).trim();
         if (!optional && input.isEmpty()) {
             throw new IllegalArgumentException(prompt + " is required");
         }
         return input;
     }
 
+    /** Encoding of the JVM's own stdout stream, so pipe-mode output matches what System.out would have written. */
+    private static Charset stdoutCharset() {
+        String encoding = System.getProperty("sun.stdout.encoding");
+        if (encoding != null && Charset.isSupported(encoding))
+            return Charset.forName(encoding);
+        return Charset.defaultCharset();
+    }
+
+    private void prompt(String text) {
+        if (interactive)
+            output.print(text);
+    }
+
+    private String readLine(BufferedReader reader) {
+        try {
+            if (!reader.ready())
+                output.flush();
+            String line = reader.readLine();
+            if (line == null)
+                throw new NoSuchElementException("No line found");
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     private Float parseFloat(String input) {
         return input == null || input.isEmpty() ? null : Float.parseFloat(input);
     }
@@ -365,12 +488,20 @@ public class OrganizationManager {
     }
 
     private Organization findById(long id) {
+        if (organizations instanceof DiskBackedOrganizationSet store)
+            return store.get(id);
         return organizations.stream().filter(o -> o.getId() == id).findFirst().orElse(null);
     }
 
-    private void addTextElement(Document doc, Element parent, String name, String value) {
-        Element element = doc.createElement(name);
-        element.setTextContent(value);
-        parent.appendChild(element);
+    private void addTextElement(XMLStreamWriter writer, int depth, String name, String value)
+            throws XMLStreamException {
+        writer.writeCharacters("\n" + "  ".repeat(depth));
+        if (value.isEmpty()) {
+            writer.writeEmptyElement(name);
+            return;
+        }
+        writer.writeStartElement(name);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
     }
 }
\ No newline at end of file
@@ -5,15 +5,15 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 public class OrganizationXMLParser {
 
@@ -24,7 +24,15 @@ public class OrganizationXMLParser {
     }
 
     public Set<Organization> loadOrganizations() {
-        Set<Organization> organizations = new TreeSet<>();
+        return loadOrganizations(new TreeSet<>());
+    }
+
+    /**
+     * Parses organizations into the given set, e.g. a {@link DiskBackedOrganizationSet} in bounded-memory mode. The
+     * file is read with StAX and each organization is added as soon as its element ends, so the document is never
+     * held in memory as a whole.
+     */
+    public Set<Organization> loadOrganizations(Set<Organization> organizations) {
         InputStream is = null;
 
         try {
@@ -42,16 +50,48 @@ public class OrganizationXMLParser {
                 return organizations;
             }
 
-            Document document = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(new InputSource(is));
-            document.getDocumentElement().normalize();
+            // Gzip / deflate files are detected by magic bytes and decompressed while parsing
+            is = CompressionFormat.decode(is);
 
-            NodeList nodes = document.getElementsByTagName("organization");
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(is);
+            try {
+                readOrganizations(reader, organizations);
+            } finally {
+                reader.close();
+            }
+
+        } catch (Exception e) {
+            logError("Error loading XML: " + e.getMessage());
+        } finally {
+            closeQuietly(is);
+        }
 
-            for (int i = 0; i < nodes.getLength(); i++) {
-                Node node = nodes.item(i);
-                if (node.getNodeType() == Node.ELEMENT_NODE) {
+        return organizations;
+    }
+
+    private void readOrganizations(XMLStreamReader reader, Set<Organization> organizations)
+            throws XMLStreamException {
+        Map<String, String> fields = null;
+        StringBuilder text = new StringBuilder();
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT -> {
+                if ("organization".equals(reader.getLocalName())) {
+                    fields = new HashMap<>();
+                }
+                text.setLength(0);
+            }
+            case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                if (fields != null)
+                    text.append(reader.getText());
+            }
+            case XMLStreamConstants.END_ELEMENT -> {
+                if (fields == null)
+                    break;
+                if ("organization".equals(reader.getLocalName())) {
                     try {
-                        Organization org = parseOrganization((Element) node);
+                        Organization org = parseOrganization(fields);
                         if (org != null) {
                             organizations.add(org);
                         }
@@ -59,26 +99,26 @@ public class OrganizationXMLParser {
                         // Suppress error or log it silently
                         logError("Skipping invalid organization: " + e.getMessage());
                     }
+                    fields = null;
+                } else {
+                    // First occurrence wins, as with getElementsByTagName(...).item(0)
+                    fields.putIfAbsent(reader.getLocalName(), text.toString());
                 }
+                text.setLength(0);
+            }
+            default -> {
+            }
             }
-
-        } catch (Exception e) {
-            logError("Error loading XML: " + e.getMessage());
-        } finally {
-            closeQuietly(is);
         }
-
-        return organizations;
     }
 
-    private Organization parseOrganization(Element element) {
+    private Organization parseOrganization(Map<String, String> fields) {
         try {
-            Long id = safeParseLong(getElementText(element, "id"));
-            String name = getElementText(element, "name");
-            Element coords = getChildElement(element, "coordinates");
+            Long id = safeParseLong(getElementText(fields, "id"));
+            String name = getElementText(fields, "name");
 
-            Float x = safeParseFloat(getElementText(coords, "x"));
-            Integer y = safeParseInt(getElementText(coords, "y"));
+            Float x = safeParseFloat(getElementText(fields, "x"));
+            Integer y = safeParseInt(getElementText(fields, "y"));
 
             // Null check for y
             if (y == null) {
@@ -86,12 +126,12 @@ public class OrganizationXMLParser {
                 return null;
             }
 
-            Integer turnover = safeParseInt(getElementText(element, "annualTurnover"));
+            Integer turnover = safeParseInt(getElementText(fields, "annualTurnover"));
             if (turnover == null || turnover <= 0)
                 throw new IllegalArgumentException("Invalid annualTurnover");
 
             OrganizationType type = null;
-            String typeStr = getElementText(element, "type");
+            String typeStr = getElementText(fields, "type");
             if (typeStr != null && !typeStr.trim().isEmpty()) {
                 try {
                     type = OrganizationType.fromString(typeStr);
@@ -100,11 +140,7 @@ public class OrganizationXMLParser {
                 }
             }
 
-            String zipCode = null;
-            Element addressElement = getChildElement(element, "postalAddress");
-            if (addressElement != null) {
-                zipCode = getElementText(addressElement, "zipCode");
-            }
+            String zipCode = getElementText(fields, "zipCode");
 
             return new Organization(id, name, new Coordinates(x, y), turnover, type, new Address(zipCode));
 
@@ -116,23 +152,12 @@ public class OrganizationXMLParser {
 
     // Helper methods
 
-    private String getElementText(Element parent, String tagName) {
-        try {
-            NodeList list = parent.getElementsByTagName(tagName);
-            if (list.getLength() == 0)
-                return null;
-            String text = list.item(0).getTextContent().trim();
-            return text.isEmpty() ? null : text;
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
-    private Element getChildElement(Element parent, String tagName) {
-        NodeList list = parent.getElementsByTagName(tagName);
-        if (list.getLength() == 0)
+    private String getElementText(Map<String, String> fields, String tagName) {
+        String value = fields.get(tagName);
+        if (value == null)
             return null;
-        return (Element) list.item(0);
+        String text = value.trim();
+        return text.isEmpty() ? null : text;
     }
 
     private Long safeParseLong(String s) {
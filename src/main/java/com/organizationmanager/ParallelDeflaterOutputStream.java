@@ -0,0 +1,173 @@
+package com.organizationmanager;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Checksum;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip / zlib output stream that compresses fixed-size blocks in parallel.
+ * <p>
+ * Each block is deflated independently as raw deflate data ending in a sync flush, so the blocks concatenate into a
+ * single valid deflate stream. Like pigz, each block is primed with the last 32 KiB of the previous block as a preset
+ * dictionary, so matches can reach back across block boundaries and the ratio stays close to a serial compressor.
+ * The checksum over the uncompressed data is cheap and is kept sequentially in {@link #write}. Finished blocks are
+ * written in submission order.
+ */
+public class ParallelDeflaterOutputStream extends FilterOutputStream {
+    private static final int BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int MAX_IN_FLIGHT = Runtime.getRuntime().availableProcessors() * 2;
+
+    private final CompressionFormat format;
+    private final Checksum checksum;
+    private final Queue<CompletableFuture<byte[]>> pending = new ArrayDeque<>();
+    private final byte[] block = new byte[BLOCK_SIZE];
+    private int blockLength;
+    private byte[] dictionary = new byte[0];
+    private long totalLength;
+    private boolean closed;
+
+    public ParallelDeflaterOutputStream(OutputStream out, CompressionFormat format) throws IOException {
+        super(out);
+        if (format == CompressionFormat.NONE)
+            throw new IllegalArgumentException("Format must be compressed");
+        this.format = format;
+        this.checksum = format == CompressionFormat.GZIP ? new CRC32() : new Adler32();
+        writeHeader();
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+        checksum.update(b);
+        totalLength++;
+        block[blockLength++] = (byte) b;
+        if (blockLength == BLOCK_SIZE)
+            submitBlock(false);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (closed)
+            throw new IOException("Stream closed");
+        checksum.update(b, off, len);
+        totalLength += len;
+        while (len > 0) {
+            int n = Math.min(len, BLOCK_SIZE - blockLength);
+            System.arraycopy(b, off, block, blockLength, n);
+            blockLength += n;
+            off += n;
+            len -= n;
+            if (blockLength == BLOCK_SIZE)
+                submitBlock(false);
+        }
+    }
+
+    /** Only complete blocks are flushed; a partial block is kept so the compression ratio does not degrade. */
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        try {
+            submitBlock(true);
+            while (!pending.isEmpty())
+                writeCompleted();
+            writeTrailer();
+            out.flush();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = Arrays.copyOf(block, blockLength);
+        byte[] previous = dictionary;
+        dictionary = Arrays.copyOfRange(data, Math.max(0, data.length - DICTIONARY_SIZE), data.length);
+        blockLength = 0;
+        pending.add(CompletableFuture.supplyAsync(() -> deflate(data, previous, last)));
+        while (pending.size() > MAX_IN_FLIGHT)
+            writeCompleted();
+    }
+
+    private void writeCompleted() throws IOException {
+        try {
+            out.write(pending.remove().join());
+        } catch (CompletionException e) {
+            throw new IOException("Compression failed", e.getCause());
+        }
+    }
+
+    private static byte[] deflate(byte[] data, byte[] dictionary, boolean last) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            if (dictionary.length > 0)
+                deflater.setDictionary(dictionary);
+            deflater.setInput(data);
+            ByteArrayOutputStream result = new ByteArrayOutputStream(data.length / 4 + 64);
+            byte[] buffer = new byte[16 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(buffer);
+                    result.write(buffer, 0, n);
+                }
+            } else {
+                int n;
+                do {
+                    n = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    result.write(buffer, 0, n);
+                } while (n == buffer.length);
+            }
+            return result.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        if (format == CompressionFormat.GZIP) {
+            // magic, CM = deflate, no flags, no mtime, no extra flags, OS = unknown
+            out.write(new byte[] { 0x1f, (byte) 0x8b, 8, 0, 0, 0, 0, 0, 0, (byte) 0xff });
+        } else {
+            // CMF = deflate with 32K window, FLG = default level with valid check bits
+            out.write(new byte[] { 0x78, (byte) 0x9c });
+        }
+    }
+
+    private void writeTrailer() throws IOException {
+        long value = checksum.getValue();
+        if (format == CompressionFormat.GZIP) {
+            writeIntLE(value);
+            writeIntLE(totalLength);
+        } else {
+            out.write((int) (value >>> 24));
+            out.write((int) (value >>> 16));
+            out.write((int) (value >>> 8));
+            out.write((int) value);
+        }
+    }
+
+    private void writeIntLE(long value) throws IOException {
+        out.write((int) value);
+        out.write((int) (value >>> 8));
+        out.write((int) (value >>> 16));
+        out.write((int) (value >>> 24));
+    }
+}